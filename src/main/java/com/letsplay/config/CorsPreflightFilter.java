@@ -0,0 +1,118 @@
+package com.letsplay.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Answers CORS preflight requests before they reach Spring Security.
+ *
+ * Preflights (OPTIONS with Origin and Access-Control-Request-Method) otherwise
+ * walk a full security filter chain, and Spring's CorsProcessor re-derives the
+ * response headers from the CorsConfiguration each time. This filter renders the
+ * constant header values once at startup and answers a preflight with an origin
+ * check (see OriginMatcher) and a hash-set lookup on the method.
+ *
+ * Only preflights are handled here; actual cross-origin requests still get their
+ * CORS headers from the security chains' CorsFilter, using the same configuration.
+ */
+public class CorsPreflightFilter extends OncePerRequestFilter {
+
+    private static final String VARY_VALUE = String.join(", ",
+        HttpHeaders.ORIGIN,
+        HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+        HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    private final CorsConfiguration configuration;
+    private final Set<String> allowedMethods = new HashSet<>();
+    private final Set<String> allowedHeaders = new HashSet<>();
+    private final boolean allowAnyHeader;
+    private final String allowMethodsValue;
+    private final String allowCredentialsValue;
+    private final String maxAgeValue;
+
+    public CorsPreflightFilter(CorsConfiguration configuration) {
+        this.configuration = configuration;
+        for (String method : nullToEmpty(configuration.getAllowedMethods())) {
+            allowedMethods.add(method.toUpperCase(Locale.ROOT));
+        }
+        List<String> headers = nullToEmpty(configuration.getAllowedHeaders());
+        this.allowAnyHeader = headers.contains(CorsConfiguration.ALL);
+        for (String header : headers) {
+            allowedHeaders.add(header.toLowerCase(Locale.ROOT));
+        }
+
+        this.allowMethodsValue = String.join(",", allowedMethods);
+        this.allowCredentialsValue = Boolean.TRUE.equals(configuration.getAllowCredentials()) ? "true" : null;
+        this.maxAgeValue = configuration.getMaxAge() != null ? configuration.getMaxAge().toString() : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.OPTIONS.matches(request.getMethod())
+            || request.getHeader(HttpHeaders.ORIGIN) == null
+            || request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        response.setHeader(HttpHeaders.VARY, VARY_VALUE);
+
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        String method = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        String requestHeaders = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+        if (!isOriginAllowed(origin) || !allowedMethods.contains(method) || !areHeadersAllowed(requestHeaders)) {
+            // Same outcome as Spring's DefaultCorsProcessor for a rejected preflight
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.getWriter().write("Invalid CORS request");
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, allowMethodsValue);
+        if (requestHeaders != null && !requestHeaders.isBlank()) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, requestHeaders);
+        }
+        if (allowCredentialsValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, allowCredentialsValue);
+        }
+        if (maxAgeValue != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, maxAgeValue);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    private boolean isOriginAllowed(String origin) {
+        return configuration.checkOrigin(origin) != null;
+    }
+
+    private boolean areHeadersAllowed(String requestHeaders) {
+        if (allowAnyHeader || requestHeaders == null || requestHeaders.isBlank()) {
+            return true;
+        }
+        for (String header : requestHeaders.split(",")) {
+            String name = header.trim().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !allowedHeaders.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> nullToEmpty(List<String> values) {
+        return values != null ? values : List.of();
+    }
+}
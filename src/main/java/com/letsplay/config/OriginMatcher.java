@@ -0,0 +1,137 @@
+package com.letsplay.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matches request origins against a list of allowed origins and patterns.
+ *
+ * Supported entries:
+ * - exact origins, e.g. https://shop.example.com
+ * - subdomain wildcards, e.g. https://*.example.com (any depth of subdomain,
+ *   but not example.com itself)
+ * - either form with a port, e.g. http://localhost:3000
+ *
+ * Exact origins go into a hash set. Wildcard patterns are compiled into a trie
+ * of reversed host labels (com -> example -> *), so checking a host walks its
+ * labels once instead of testing every pattern. Decisions are memoized in a
+ * bounded cache since browsers send the same few origins over and over.
+ */
+public class OriginMatcher {
+
+    private static final int MAX_CACHED_DECISIONS = 10_000;
+
+    private final Set<String> exactOrigins = new HashSet<>();
+    private final LabelNode wildcardRoot = new LabelNode();
+    private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+    /**
+     * @param allowedOrigins exact origins and wildcard patterns
+     */
+    public OriginMatcher(List<String> allowedOrigins) {
+        for (String entry : allowedOrigins) {
+            String origin = normalize(entry);
+            if (origin.isEmpty()) {
+                continue;
+            }
+            Origin parsed = Origin.parse(origin);
+            if (parsed == null || !parsed.host.startsWith("*.")) {
+                exactOrigins.add(origin);
+                continue;
+            }
+            LabelNode node = wildcardRoot;
+            String[] labels = parsed.host.substring(2).split("\\.");
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(labels[i], label -> new LabelNode());
+            }
+            node.wildcardSchemePorts.add(parsed.schemePort());
+        }
+    }
+
+    /**
+     * @param origin value of the Origin request header
+     * @return true if the origin is allowed
+     */
+    public boolean matches(String origin) {
+        if (origin == null) {
+            return false;
+        }
+        Boolean cached = decisions.get(origin);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean allowed = compute(normalize(origin));
+        if (decisions.size() >= MAX_CACHED_DECISIONS) {
+            // Crude but bounded: unknown origins cannot grow the cache without limit
+            decisions.clear();
+        }
+        decisions.put(origin, allowed);
+        return allowed;
+    }
+
+    private boolean compute(String origin) {
+        if (exactOrigins.contains(origin)) {
+            return true;
+        }
+        Origin parsed = Origin.parse(origin);
+        if (parsed == null) {
+            return false;
+        }
+
+        String schemePort = parsed.schemePort();
+        String[] labels = parsed.host.split("\\.");
+        LabelNode node = wildcardRoot;
+        // Stop before the leftmost label: a wildcard needs at least one label to cover
+        for (int i = labels.length - 1; i > 0; i--) {
+            node = node.children.get(labels[i]);
+            if (node == null) {
+                return false;
+            }
+            if (node.wildcardSchemePorts.contains(schemePort)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String origin) {
+        String trimmed = origin.trim().toLowerCase(Locale.ROOT);
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private static final class LabelNode {
+
+        private final Map<String, LabelNode> children = new HashMap<>();
+        private final Set<String> wildcardSchemePorts = new HashSet<>();
+    }
+
+    private record Origin(String scheme, String host, String port) {
+
+        private static Origin parse(String origin) {
+            int schemeEnd = origin.indexOf("://");
+            if (schemeEnd <= 0) {
+                return null;
+            }
+            String scheme = origin.substring(0, schemeEnd);
+            String authority = origin.substring(schemeEnd + 3);
+            if (authority.isEmpty() || authority.indexOf('/') >= 0 || authority.indexOf('@') >= 0) {
+                return null;
+            }
+            int portStart = authority.lastIndexOf(':');
+            if (portStart < 0 || authority.startsWith("[")) {
+                return new Origin(scheme, authority, "");
+            }
+            return new Origin(scheme, authority.substring(0, portStart), authority.substring(portStart + 1));
+        }
+
+        private String schemePort() {
+            return scheme + "|" + port;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.letsplay.config;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.cors.CorsConfiguration;
+
+/**
+ * CorsConfiguration that checks origins through an OriginMatcher.
+ *
+ * The stock implementation scans allowedOrigins and allowedOriginPatterns
+ * linearly on every request. This one delegates to a compiled matcher, so the
+ * check stays constant time as the list of allowed origins grows.
+ */
+public class OriginMatchingCorsConfiguration extends CorsConfiguration {
+
+    private final OriginMatcher originMatcher;
+
+    public OriginMatchingCorsConfiguration(OriginMatcher originMatcher) {
+        this.originMatcher = originMatcher;
+    }
+
+    @Override
+    @Nullable
+    public String checkOrigin(@Nullable String origin) {
+        return originMatcher.matches(origin) ? origin : null;
+    }
+}
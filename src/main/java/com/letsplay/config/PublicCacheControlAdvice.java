@@ -0,0 +1,71 @@
+package com.letsplay.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks successful public product reads as cacheable by browsers and CDNs.
+ *
+ * Runs just before a handler's body is written, which is the last point where
+ * the outcome is known and headers can still be changed: a HandlerInterceptor's
+ * postHandle() comes after the body has been flushed. GET /api/products/**
+ * responses with status 200 get a short max-age plus stale-while-revalidate,
+ * so caches keep serving while they refresh in the background. Errors sent with
+ * sendError() never get here, and error bodies carry a non-200 status, so both
+ * keep the no-store default of PublicCacheControlHeaderWriter. A Cache-Control
+ * header already set by the controller wins.
+ */
+@ControllerAdvice
+public class PublicCacheControlAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String PRODUCTS_PATH = "/api/products";
+
+    private final String cacheControlValue;
+
+    /**
+     * @param maxAgeSeconds how long a response is fresh
+     * @param staleWhileRevalidateSeconds how long a stale response may be served while revalidating
+     */
+    public PublicCacheControlAdvice(@Value("${products.cache.max.age:60}") long maxAgeSeconds,
+                                    @Value("${products.cache.stale.while.revalidate:300}") long staleWhileRevalidateSeconds) {
+        this.cacheControlValue = PublicCacheControlHeaderWriter.publicPolicy(maxAgeSeconds, staleWhileRevalidateSeconds);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && isPublicRead(servletRequest.getServletRequest())
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletResponse.getServletResponse().getStatus() == HttpServletResponse.SC_OK
+                && !response.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+            response.getHeaders().setCacheControl(cacheControlValue);
+        }
+        return body;
+    }
+
+    private static boolean isPublicRead(HttpServletRequest request) {
+        // Same match as publicReadFilterChain, relative to the context path
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HttpMethod.GET.matches(request.getMethod())
+            && (path.equals(PRODUCTS_PATH) || path.startsWith(PRODUCTS_PATH + "/"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.letsplay.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.header.HeaderWriter;
+
+/**
+ * Cache-Control writer for the public read chain.
+ *
+ * Spring Security's default header writer sends "Cache-Control: no-cache,
+ * no-store" on every response, which stops shared caches from absorbing any
+ * catalog traffic. On the public read chain that writer is disabled and this
+ * one is used instead. It still defaults to no-store: the public policy is set
+ * earlier by PublicCacheControlAdvice, only when a handler writes a successful
+ * body, and a Cache-Control header already present is left alone.
+ *
+ * The status cannot be trusted here. Header writers run when the response is
+ * committed, and sendError() commits before the container sets the error
+ * status, so a 404 or 405 still reads as 200 at this point. Defaulting to
+ * no-store keeps such errors out of CDNs. The one exception is 304, which is
+ * set with setStatus() and revalidates a cached 200, so it has to carry the
+ * same public policy.
+ */
+public class PublicCacheControlHeaderWriter implements HeaderWriter {
+
+    private static final String NO_STORE = "no-cache, no-store, max-age=0, must-revalidate";
+
+    private final String cacheControlValue;
+
+    /**
+     * @param maxAgeSeconds how long a response is fresh
+     * @param staleWhileRevalidateSeconds how long a stale response may be served while revalidating
+     */
+    public PublicCacheControlHeaderWriter(long maxAgeSeconds, long staleWhileRevalidateSeconds) {
+        this.cacheControlValue = publicPolicy(maxAgeSeconds, staleWhileRevalidateSeconds);
+    }
+
+    static String publicPolicy(long maxAgeSeconds, long staleWhileRevalidateSeconds) {
+        return "public, max-age=" + maxAgeSeconds + ", stale-while-revalidate=" + staleWhileRevalidateSeconds;
+    }
+
+    @Override
+    public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+        if (response.containsHeader(HttpHeaders.CACHE_CONTROL)) {
+            return;
+        }
+        if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, NO_STORE);
+        response.setHeader(HttpHeaders.PRAGMA, "no-cache");
+        response.setHeader(HttpHeaders.EXPIRES, "0");
+    }
+}
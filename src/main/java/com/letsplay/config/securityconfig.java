@@ -1,29 +1,58 @@
 package com.letsplay.config;
 
+import com.letsplay.security.AsyncUserDetailsPasswordService;
+import com.letsplay.security.AuthRateLimitFilter;
+import com.letsplay.security.ClusterRateLimiter;
+import com.letsplay.security.BoundedPasswordEncoder;
 import com.letsplay.security.JwtAuthenticationEntryPoint;
 import com.letsplay.security.JwtAuthenticationFilter;
+import com.letsplay.security.MongoRateLimitStore;
+import com.letsplay.security.PasswordEncoders;
+import com.letsplay.security.PathTrieAuthorizationManager;
+import com.letsplay.security.RateLimitStore;
+import com.letsplay.security.RateLimiter;
+import com.letsplay.security.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Security configuration for the Let's Play API.
@@ -36,6 +65,12 @@ import java.util.List;
  * - Public endpoints for product viewing and authentication
  * - Protected endpoints for product/user management
  * 
+ * Traffic is split across ordered filter chains so each request class only pays
+ * for the filters it needs:
+ * 1. publicReadFilterChain - GET /api/products/** (no JWT processing)
+ * 2. authFilterChain - register/login (no JWT processing)
+ * 3. filterChain - everything else (JWT authentication and role rules)
+ * 
  * @author Jose Owino
  * @version 1.0
  */
@@ -44,12 +79,71 @@ import java.util.List;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    private static final Duration RATE_LIMIT_WINDOW = Duration.ofMinutes(1);
+
     @Autowired
     private UserDetailsService userDetailsService;
 
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
 
+    @Value("${password.hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int hashingThreads;
+
+    @Value("${password.hashing.queue.capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${password.hashing.timeout:2000}")
+    private long hashingTimeoutMillis;
+
+    @Value("${password.hashing.retry.after:1}")
+    private long hashingRetryAfterSeconds;
+
+    @Value("${password.hashing.algorithm:bcrypt}")
+    private String hashingAlgorithm;
+
+    @Value("${password.hashing.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${password.hashing.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${password.hashing.pbkdf2.previous.iterations:}")
+    private int[] pbkdf2PreviousIterations;
+
+    @Value("${password.hashing.argon2.memory:19456}")
+    private int argon2MemoryKb;
+
+    @Value("${password.hashing.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${auth.ratelimit.ip.burst:20}")
+    private int authIpBurst;
+
+    @Value("${auth.ratelimit.ip.per.minute:60}")
+    private int authIpPerMinute;
+
+    @Value("${auth.ratelimit.account.burst:5}")
+    private int authAccountBurst;
+
+    @Value("${auth.ratelimit.account.per.minute:10}")
+    private int authAccountPerMinute;
+
+    @Value("${auth.ratelimit.cluster.enabled:false}")
+    private boolean authRateLimitClusterEnabled;
+
+    @Value("${auth.ratelimit.cluster.sync.interval:1000}")
+    private long authRateLimitSyncIntervalMillis;
+
+    @Value("${products.cache.max.age:60}")
+    private long productsCacheMaxAge;
+
+    @Value("${products.cache.stale.while.revalidate:300}")
+    private long productsCacheStaleWhileRevalidate;
+
+    @Value("${cors.allowed.origins:http://localhost:3000,http://localhost:4200,http://localhost:8081,https://your-frontend.com}")
+    private String[] corsAllowedOrigins;
+
     /**
      * Creates the JWT authentication filter bean.
      * This filter intercepts requests and validates JWT tokens.
@@ -62,31 +156,143 @@ public class SecurityConfig {
     }
 
     /**
-     * Configures the password encoder using BCrypt.
-     * BCrypt automatically handles salt generation and provides strong hashing.
+     * Stops Spring Boot from registering the JWT filter as a plain servlet filter.
+     * 
+     * Any Filter bean is picked up by the servlet container automatically, which
+     * would run JWT parsing on every request (public reads included) in addition
+     * to the run inside the security chains. The filter must only run where a
+     * SecurityFilterChain adds it.
+     * 
+     * @param filter the JWT filter bean
+     * @return disabled registration for the JWT filter
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Configures the password encoder.
      * 
-     * Strength: 10 rounds (default) - good balance between security and performance
+     * New hashes use the algorithm selected by password.hashing.algorithm
+     * (bcrypt, pbkdf2 or argon2) with its configured cost, stored with an
+     * {id} prefix. Existing hashes of any supported algorithm still verify,
+     * and legacy un-prefixed hashes are treated as BCrypt. Outdated hashes are
+     * upgraded on the next successful login if the UserDetailsService can store
+     * passwords (see authenticationProvider()).
      * 
-     * @return BCryptPasswordEncoder instance
+     * BCrypt and Argon2 hashes carry their own cost. PBKDF2 hashes do not, so the
+     * iteration count is part of the id ({pbkdf2-310000}); when changing it, list
+     * the old count in password.hashing.pbkdf2.previous.iterations or existing
+     * PBKDF2 users can no longer log in.
+     * 
+     * Cost settings:
+     * - password.hashing.bcrypt.strength (default: 10)
+     * - password.hashing.pbkdf2.iterations (default: 310000)
+     * - password.hashing.pbkdf2.previous.iterations, comma-separated (default: none)
+     * - password.hashing.argon2.memory in KiB (default: 19456)
+     * - password.hashing.argon2.iterations (default: 2, requires BouncyCastle)
+     * 
+     * Use PasswordHashCalibrator to pick values for a target hash time.
+     * 
+     * Hashing runs on a dedicated pool sized to the CPU count with a bounded queue,
+     * so login/register bursts cannot occupy every servlet thread. When the pool is
+     * saturated, requests fail fast with HashingCapacityExceededException.
+     * 
+     * Tunable via:
+     * - password.hashing.threads (default: available processors)
+     * - password.hashing.queue.capacity (default: 64)
+     * - password.hashing.timeout in ms (default: 2000)
+     * - password.hashing.retry.after in seconds (default: 1)
+     * 
+     * Pool metrics are exported over JMX and need spring.jmx.enabled=true.
+     * 
+     * @return BoundedPasswordEncoder wrapping a DelegatingPasswordEncoder
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        BCryptPasswordEncoder bcrypt = PasswordEncoders.bcrypt(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        // Plain {pbkdf2} hashes predate the iteration count in the id and used the default
+        encoders.put("pbkdf2", PasswordEncoders.pbkdf2(310000));
+        encoders.put("pbkdf2-" + pbkdf2Iterations, PasswordEncoders.pbkdf2(pbkdf2Iterations));
+        for (int iterations : pbkdf2PreviousIterations) {
+            encoders.put("pbkdf2-" + iterations, PasswordEncoders.pbkdf2(iterations));
+        }
+
+        // Argon2 needs BouncyCastle at runtime, only register it when available
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", null)) {
+            encoders.put("argon2", PasswordEncoders.argon2(argon2MemoryKb, argon2Iterations));
+        }
+
+        String idForEncode = "pbkdf2".equals(hashingAlgorithm) ? "pbkdf2-" + pbkdf2Iterations : hashingAlgorithm;
+        if (!encoders.containsKey(idForEncode)) {
+            throw new IllegalStateException("Unsupported password.hashing.algorithm: " + hashingAlgorithm);
+        }
+
+        boolean bcryptForEncode = "bcrypt".equals(idForEncode);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, encoders) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                // A legacy un-prefixed BCrypt hash at the configured cost is already
+                // what we would write, re-encoding it would only add the prefix
+                if (bcryptForEncode && prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(
+            delegating,
+            hashingThreads,
+            hashingQueueCapacity,
+            hashingTimeoutMillis,
+            hashingRetryAfterSeconds
+        );
     }
 
     /**
      * Configures the authentication provider with custom UserDetailsService and password encoder.
      * 
-     * @return DaoAuthenticationProvider configured with UserDetailsService and BCrypt
+     * If the UserDetailsService can also store passwords (UserDetailsPasswordService),
+     * hashes with an outdated algorithm or cost are re-encoded after a successful
+     * login and written back in the background, so the login response never waits
+     * on the extra database write.
+     * 
+     * @return DaoAuthenticationProvider configured with UserDetailsService and password encoder
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        if (userDetailsService instanceof UserDetailsPasswordService) {
+            authProvider.setUserDetailsPasswordService(asyncUserDetailsPasswordService());
+        }
         return authProvider;
     }
 
+    /**
+     * Writes upgraded password hashes back in the background (see authenticationProvider()).
+     * 
+     * Lazy, because it is only created when the UserDetailsService can store
+     * passwords. As a bean, its writer thread is stopped on shutdown.
+     * 
+     * @return AsyncUserDetailsPasswordService wrapping the UserDetailsService
+     */
+    @Bean
+    @Lazy
+    public AsyncUserDetailsPasswordService asyncUserDetailsPasswordService() {
+        return new AsyncUserDetailsPasswordService((UserDetailsPasswordService) userDetailsService, 256);
+    }
+
     /**
      * Exposes the AuthenticationManager bean for use in authentication operations.
      * Required for manual authentication in login endpoint.
@@ -103,27 +309,29 @@ public class SecurityConfig {
     /**
      * Configures CORS (Cross-Origin Resource Sharing) settings.
      * 
+     * Shared by the security chains' CorsFilter (actual requests) and by
+     * CorsPreflightFilter (OPTIONS preflights).
+     * 
      * Allows:
-     * - Specific origins (localhost:3000, localhost:4200 for development)
+     * - Origins listed in cors.allowed.origins, exact (https://app.example.com) or
+     *   subdomain wildcards (https://*.example.com); defaults to localhost:3000,
+     *   localhost:4200 and localhost:8081 for development plus the placeholder
+     *   https://your-frontend.com
      * - Standard HTTP methods (GET, POST, PUT, DELETE, OPTIONS)
      * - All headers
      * - Credentials (cookies, authorization headers)
      * 
-     * For production, update allowed origins to your frontend domain.
+     * For production, set cors.allowed.origins to your frontend domains. Origin checks
+     * go through a compiled OriginMatcher, so long tenant lists stay cheap.
      * 
-     * @return CorsConfigurationSource with defined CORS rules
+     * @return CorsConfiguration with defined CORS rules
      */
     @Bean
-    public CorsConfigurationSource corsConfigurationSource() {
-        CorsConfiguration configuration = new CorsConfiguration();
-        
-        // Allow specific origins (update for production)
-        configuration.setAllowedOrigins(Arrays.asList(
-            "http://localhost:3000",     // React default
-            "http://localhost:4200",     // Angular default
-            "http://localhost:8081",     // Alternative port
-            "https://your-frontend.com"  // Production frontend (update this)
-        ));
+    public CorsConfiguration corsConfiguration() {
+        // Allow configured origins and patterns (update for production)
+        CorsConfiguration configuration = new OriginMatchingCorsConfiguration(
+            new OriginMatcher(Arrays.asList(corsAllowedOrigins))
+        );
         
         // Allow specific HTTP methods
         configuration.setAllowedMethods(Arrays.asList(
@@ -139,27 +347,191 @@ public class SecurityConfig {
         // Cache preflight response for 1 hour
         configuration.setMaxAge(3600L);
         
-        // Expose headers to client
+        // Expose headers to client (ETag is echoed back in If-Match on updates)
         configuration.setExposedHeaders(Arrays.asList(
             "Authorization", 
             "Content-Type",
-            "X-Total-Count"
+            "X-Total-Count",
+            "ETag"
         ));
 
+        return configuration;
+    }
+
+    /**
+     * Exposes the CORS configuration to the security chains for all paths.
+     * 
+     * @return CorsConfigurationSource with defined CORS rules
+     */
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
+        source.registerCorsConfiguration("/**", corsConfiguration());
         return source;
     }
 
+    /**
+     * Registers the CORS preflight fast path ahead of the Spring Security filter.
+     * 
+     * OPTIONS preflights are answered from precomputed header values without
+     * entering any SecurityFilterChain.
+     * 
+     * @return registration placing CorsPreflightFilter before springSecurityFilterChain
+     */
+    @Bean
+    public FilterRegistrationBean<CorsPreflightFilter> corsPreflightFilterRegistration() {
+        FilterRegistrationBean<CorsPreflightFilter> registration =
+            new FilterRegistrationBean<>(new CorsPreflightFilter(corsConfiguration()));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Filter chain for anonymous catalog reads (GET /api/products/**).
+     * 
+     * Public product reads are the bulk of the traffic and never need the caller's
+     * identity, so this chain skips the JWT filter entirely: no Authorization header
+     * inspection and no validation of stale tokens sent by browsers. Only CORS,
+     * security headers and a permitAll decision remain.
+     * 
+     * Responses are not user-specific, so successful reads get a public Cache-Control
+     * that lets browsers and CDNs absorb them (set by PublicCacheControlAdvice when the
+     * handler writes a 200 body); everything else, errors included, stays no-store:
+     * - products.cache.max.age in seconds (default: 60)
+     * - products.cache.stale.while.revalidate in seconds (default: 300)
+     * 
+     * @param http HttpSecurity object for configuration
+     * @return SecurityFilterChain for public product reads
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicReadFilterChain(HttpSecurity http) throws Exception {
+        minimalStateless(http)
+            .securityMatcher(AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/products/**"))
+            .headers(headers -> headers
+                .cacheControl(cache -> cache.disable())
+                .addHeaderWriter(new PublicCacheControlHeaderWriter(
+                    productsCacheMaxAge, productsCacheStaleWhileRevalidate))
+            )
+            .authorizeHttpRequests(auth -> auth
+                .anyRequest().permitAll()
+            );
+
+        return http.build();
+    }
+
+    /**
+     * Filter chain for the credential endpoints (POST /api/auth/register, POST /api/auth/login).
+     * 
+     * These requests carry credentials in the body, not a bearer token, so the JWT
+     * filter is not installed. Password verification happens in the controller
+     * through the AuthenticationManager.
+     * 
+     * Requests are throttled per client IP and, for login, per account before they
+     * reach the controller, so bursts are rejected with 429 before any hashing:
+     * - auth.ratelimit.ip.burst / auth.ratelimit.ip.per.minute (default: 20 / 60)
+     * - auth.ratelimit.account.burst / auth.ratelimit.account.per.minute (default: 5 / 10)
+     * 
+     * With auth.ratelimit.cluster.enabled=true the per-minute limits apply across all
+     * API nodes (see rateLimiter()).
+     * 
+     * @param http HttpSecurity object for configuration
+     * @return SecurityFilterChain for authentication endpoints
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain authFilterChain(HttpSecurity http,
+                                               @Qualifier("authIpRateLimiter") RateLimiter ipLimiter,
+                                               @Qualifier("authAccountRateLimiter") RateLimiter accountLimiter) throws Exception {
+        minimalStateless(http)
+            .securityMatcher(
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/auth/register"),
+                AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/auth/login")
+            )
+            .authorizeHttpRequests(auth -> auth
+                .anyRequest().permitAll()
+            );
+
+        // Throttle after CORS so 429 responses are still readable by browsers
+        http.addFilterAfter(new AuthRateLimitFilter(ipLimiter, accountLimiter), CorsFilter.class);
+
+        return http.build();
+    }
+
+    /**
+     * Creates the per-client-IP rate limiter for the auth endpoints.
+     * 
+     * Declared as a bean so cluster mode's sync thread is stopped on shutdown.
+     * 
+     * @param store shared store, used in cluster mode only
+     * @return RateLimiter for the "ip:" key space
+     */
+    @Bean
+    public RateLimiter authIpRateLimiter(RateLimitStore store) {
+        return rateLimiter(store, authIpBurst, authIpPerMinute);
+    }
+
+    /**
+     * Creates the per-account rate limiter for login.
+     * 
+     * @param store shared store, used in cluster mode only
+     * @return RateLimiter for the "account:" key space
+     */
+    @Bean
+    public RateLimiter authAccountRateLimiter(RateLimitStore store) {
+        return rateLimiter(store, authAccountBurst, authAccountPerMinute);
+    }
+
+    /**
+     * Creates the store shared by all cluster-mode rate limiters.
+     * 
+     * Only used with auth.ratelimit.cluster.enabled=true. Creating it does no I/O.
+     * 
+     * @param mongoTemplate template for the application database
+     * @return MongoRateLimitStore with one-minute windows
+     */
+    @Bean
+    public RateLimitStore rateLimitStore(MongoTemplate mongoTemplate) {
+        return new MongoRateLimitStore(mongoTemplate, RATE_LIMIT_WINDOW);
+    }
+
+    /**
+     * Creates a rate limiter for the auth endpoints.
+     * 
+     * By default each node keeps its own token buckets, which lets a client spread
+     * over N nodes get N times the budget. When auth.ratelimit.cluster.enabled is
+     * set, a ClusterRateLimiter enforces permitsPerMinute over a sliding one-minute
+     * window across the cluster: decisions stay local, and counts are exchanged with
+     * MongoDB in one batch every auth.ratelimit.cluster.sync.interval ms
+     * (default: 1000). The burst still applies per node in cluster mode.
+     * 
+     * @param store shared store for cluster mode
+     * @param burst maximum back-to-back requests
+     * @param permitsPerMinute sustained rate
+     * @return RateLimiter for one key space
+     */
+    private RateLimiter rateLimiter(RateLimitStore store, int burst, int permitsPerMinute) {
+        if (!authRateLimitClusterEnabled) {
+            return new TokenBucketRateLimiter(burst, permitsPerMinute);
+        }
+        return new ClusterRateLimiter(store, burst, permitsPerMinute, RATE_LIMIT_WINDOW,
+            Duration.ofMillis(authRateLimitSyncIntervalMillis));
+    }
+
     /**
      * Main security filter chain configuration.
      * 
-     * Security Rules:
+     * Requests reach this chain only when publicReadFilterChain and authFilterChain
+     * did not match them. The public endpoints below are therefore served by those
+     * lighter chains:
+     * 
      * 1. Public endpoints (no authentication required):
-     *    - POST /api/auth/register - User registration
-     *    - POST /api/auth/login - User login
-     *    - GET /api/products - View all products
-     *    - GET /api/products/{id} - View single product
+     *    - POST /api/auth/register - User registration (authFilterChain)
+     *    - POST /api/auth/login - User login (authFilterChain)
+     *    - GET /api/products - View all products (publicReadFilterChain)
+     *    - GET /api/products/{id} - View single product (publicReadFilterChain)
      * 
      * 2. Protected endpoints (authentication required):
      *    - POST /api/products - Create product (USER, ADMIN)
@@ -176,6 +548,7 @@ public class SecurityConfig {
      * @throws Exception if configuration fails
      */
     @Bean
+    @Order(3)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             // Disable CSRF (not needed for stateless JWT authentication)
@@ -194,28 +567,9 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             
-            // Configure authorization rules
+            // Configure authorization rules (see protectedEndpointRules())
             .authorizeHttpRequests(auth -> auth
-                // Public endpoints - no authentication required
-                .requestMatchers(HttpMethod.POST, "/api/auth/register").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
-                
-                // Admin-only endpoints
-                .requestMatchers(HttpMethod.GET, "/api/users").hasRole("ADMIN")
-                .requestMatchers(HttpMethod.DELETE, "/api/users/**").hasRole("ADMIN")
-                
-                // User management - self or admin
-                .requestMatchers(HttpMethod.GET, "/api/users/**").authenticated()
-                .requestMatchers(HttpMethod.PUT, "/api/users/**").authenticated()
-                
-                // Product management - authenticated users
-                .requestMatchers(HttpMethod.POST, "/api/products").authenticated()
-                .requestMatchers(HttpMethod.PUT, "/api/products/**").authenticated()
-                .requestMatchers(HttpMethod.DELETE, "/api/products/**").authenticated()
-                
-                // All other requests require authentication
-                .anyRequest().authenticated()
+                .anyRequest().access(protectedEndpointRules())
             );
         
         // Set custom authentication provider
@@ -226,4 +580,57 @@ public class SecurityConfig {
         
         return http.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Authorization rules for the main chain, compiled once into a path trie.
+     * 
+     * Rules keep first-match order, like sequential requestMatchers() entries, but
+     * each request is resolved with a single walk over its path segments instead
+     * of trying every pattern in turn.
+     * 
+     * @return AuthorizationManager holding the protected endpoint rules
+     */
+    private PathTrieAuthorizationManager protectedEndpointRules() {
+        AuthorizationManager<HttpServletRequest> admin = AuthorityAuthorizationManager.hasRole("ADMIN");
+        AuthorizationManager<HttpServletRequest> authenticated = AuthenticatedAuthorizationManager.authenticated();
+
+        return PathTrieAuthorizationManager.builder()
+            // Admin-only endpoints
+            .rule(HttpMethod.GET, "/api/users", admin)
+            .rule(HttpMethod.DELETE, "/api/users/**", admin)
+
+            // User management - self or admin
+            .rule(HttpMethod.GET, "/api/users/**", authenticated)
+            .rule(HttpMethod.PUT, "/api/users/**", authenticated)
+
+            // Product management - authenticated users
+            .rule(HttpMethod.POST, "/api/products", authenticated)
+            .rule(HttpMethod.PUT, "/api/products/**", authenticated)
+            .rule(HttpMethod.DELETE, "/api/products/**", authenticated)
+
+            // All other requests require authentication
+            .fallback(authenticated)
+            .build();
+    }
+
+    /**
+     * Applies the settings shared by the anonymous chains: CORS and stateless sessions.
+     * CSRF, anonymous authentication, request caching and logout are switched off
+     * because no request on these chains needs them.
+     * 
+     * @param http HttpSecurity object for configuration
+     * @return the same HttpSecurity for further configuration
+     * @throws Exception if configuration fails
+     */
+    private HttpSecurity minimalStateless(HttpSecurity http) throws Exception {
+        return http
+            .csrf(csrf -> csrf.disable())
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .sessionManagement(session -> session
+                .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .requestCache(cache -> cache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .logout(logout -> logout.disable());
+    }
+}
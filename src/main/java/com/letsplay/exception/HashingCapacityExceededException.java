@@ -0,0 +1,35 @@
+package com.letsplay.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login or
+ * registration request cannot be served in time.
+ *
+ * Carries 503 Service Unavailable and a Retry-After header so clients back
+ * off instead of piling more CPU-bound work onto the server. The global
+ * exception handler must map it to that response; a catch-all handler that
+ * turns it into a generic error loses both.
+ */
+public class HashingCapacityExceededException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Authentication service is busy, please retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
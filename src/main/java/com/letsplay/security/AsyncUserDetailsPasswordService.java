@@ -0,0 +1,80 @@
+package com.letsplay.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes upgraded password hashes back to the user store off the login path.
+ *
+ * DaoAuthenticationProvider calls updatePassword() after a successful login
+ * whenever the stored hash uses an outdated algorithm or cost. This wrapper
+ * returns immediately and hands the database write to a single background
+ * thread. If the write queue is full the upgrade is dropped; the next
+ * successful login for that user will retry it.
+ *
+ * The original principal is returned unchanged so controllers keep seeing
+ * the same UserDetails type; its credentials are erased after login anyway.
+ *
+ * On shutdown, queued writes get a few seconds to finish before the thread is
+ * stopped; anything left is retried on the user's next login.
+ */
+public class AsyncUserDetailsPasswordService implements UserDetailsPasswordService, DisposableBean {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncUserDetailsPasswordService.class);
+
+    private final UserDetailsPasswordService delegate;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param delegate service that persists the new hash
+     * @param queueCapacity maximum number of pending writes
+     */
+    public AsyncUserDetailsPasswordService(UserDetailsPasswordService delegate, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+            1, 1,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-rehash");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            executor.execute(() -> {
+                try {
+                    delegate.updatePassword(user, newPassword);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to store upgraded password hash for {}", user.getUsername(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Rehash queue full, skipping upgrade for {}", user.getUsername());
+        }
+        return user;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
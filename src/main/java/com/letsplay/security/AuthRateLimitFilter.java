@@ -0,0 +1,184 @@
+package com.letsplay.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the credential endpoints before any password hashing happens.
+ *
+ * Every request is charged against a per-client-IP bucket. Login requests are
+ * additionally charged against a per-account bucket keyed by the email in the
+ * request body, so a credential-stuffing run spread over many IPs still hits a
+ * limit for each targeted account. Rejected requests get 429 with Retry-After.
+ *
+ * Login bodies are small, so the body is buffered (up to MAX_BODY_BYTES) to read
+ * the email and then replayed to the controller. The body is read regardless of
+ * Content-Type and Content-Length, which a client controls. A login body larger
+ * than MAX_BODY_BYTES is rejected with 413 and one without a JSON email with 400,
+ * so there is no way to reach the password check without being charged per account.
+ *
+ * The client IP is taken from getRemoteAddr(). Behind a load balancer, enable
+ * server.forward-headers-strategy so it reflects the real client.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 4096;
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter accountLimiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public AuthRateLimitFilter(RateLimiter ipLimiter, RateLimiter accountLimiter) {
+        this.ipLimiter = ipLimiter;
+        this.accountLimiter = accountLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = ipLimiter.tryAcquire("ip:" + request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        if (LOGIN_PATH.equals(request.getServletPath())) {
+            // Read one byte past the limit so an oversized body is detected without buffering it
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Login body must be at most " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+            String account = extractEmail(body);
+            if (account == null) {
+                writeError(request, response, HttpStatus.BAD_REQUEST,
+                    "Login body must be a JSON object with an email");
+                return;
+            }
+
+            waitNanos = accountLimiter.tryAcquire("account:" + account);
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() && !email.asText().isBlank()
+                ? email.asText().trim().toLowerCase(Locale.ROOT)
+                : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+        long retryAfterSeconds = (waitNanos + nanosPerSecond - 1) / nanosPerSecond;
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+            "Too many authentication attempts, please retry later");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getServletPath());
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Replays a body that was already read from the original request.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is available and complete at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
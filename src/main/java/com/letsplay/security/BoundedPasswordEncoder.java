@@ -0,0 +1,180 @@
+package com.letsplay.security;
+
+import com.letsplay.exception.HashingCapacityExceededException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Password encoder that runs hashing on a dedicated, bounded thread pool.
+ *
+ * BCrypt is deliberately CPU-bound. Running it on servlet threads lets a
+ * login burst occupy every Tomcat worker and starve public product reads.
+ * This encoder caps hashing concurrency (default: one thread per core) and
+ * queue length, and fails fast with HashingCapacityExceededException once
+ * saturated.
+ *
+ * Queue depth, hash latency and rejection counts are exported over JMX as
+ * com.letsplay:type=PasswordHashing. Spring Boot only exports managed
+ * resources when spring.jmx.enabled=true, which is off by default.
+ */
+@ManagedResource(objectName = "com.letsplay:type=PasswordHashing", description = "Password hashing pool")
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final AtomicLong completedHashes = new AtomicLong();
+    private final AtomicLong totalHashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong rejectedHashes = new AtomicLong();
+
+    /**
+     * @param delegate encoder doing the actual hashing
+     * @param threads number of hashing threads
+     * @param queueCapacity maximum number of hashes waiting for a thread
+     * @param timeoutMillis maximum time a request waits for its hash
+     * @param retryAfterSeconds value of the Retry-After header on rejection
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long timeoutMillis, long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+            threads, threads,
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new HashingThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, no need to go through the pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for it on the caller thread.
+     * The caller is still blocked, but it is parked rather than burning CPU,
+     * and the number of concurrent hashes never exceeds the pool size.
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            rejectedHashes.incrementAndGet();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedHashes.incrementAndGet();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityExceededException(retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completedHashes.incrementAndGet();
+            totalHashNanos.addAndGet(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    @ManagedAttribute(description = "Hashes waiting for a thread")
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedAttribute(description = "Hashes currently running")
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @ManagedAttribute(description = "Hashes completed since startup")
+    public long getCompletedHashes() {
+        return completedHashes.get();
+    }
+
+    @ManagedAttribute(description = "Hashes rejected because the pool was saturated")
+    public long getRejectedHashes() {
+        return rejectedHashes.get();
+    }
+
+    @ManagedAttribute(description = "Mean hash latency in milliseconds")
+    public double getMeanHashMillis() {
+        long count = completedHashes.get();
+        return count == 0 ? 0.0 : totalHashNanos.get() / (count * 1_000_000.0);
+    }
+
+    @ManagedAttribute(description = "Max hash latency in milliseconds")
+    public double getMaxHashMillis() {
+        return maxHashNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
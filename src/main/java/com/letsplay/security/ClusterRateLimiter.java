@@ -0,0 +1,267 @@
+package com.letsplay.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window rate limiter whose counts are shared across API nodes.
+ *
+ * Counts are kept per fixed window, but a request is judged against the
+ * sliding-window estimate: the previous window's total weighted by the part
+ * of it still inside the sliding window, plus the current window's count.
+ * A plain fixed window would admit up to twice the limit across a window
+ * boundary; the estimate removes that edge, assuming requests in the previous
+ * window were spread evenly.
+ *
+ * Decisions are made locally: the current window's count is the last known
+ * cluster-wide count plus the requests this node has counted since. That is a
+ * few volatile reads and one CAS, with no I/O on the request path. A background
+ * thread exchanges the local counts with a RateLimitStore every sync interval,
+ * in one batch for all keys, and re-reads the previous window's final totals.
+ *
+ * Between exchanges each node only sees the other nodes' counts as of the last
+ * sync, so on top of the estimate's error the cluster can admit what the other
+ * nodes let through within one sync interval. A shorter interval tightens the
+ * limit at the cost of more store traffic. If the store is unreachable, nodes
+ * keep limiting on their local counts alone.
+ *
+ * Each node also applies a local token bucket with the configured burst, so
+ * back-to-back requests are capped the same way as in node-local mode.
+ */
+public class ClusterRateLimiter implements RateLimiter, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterRateLimiter.class);
+
+    private final RateLimitStore store;
+    private final long limit;
+    private final long windowMillis;
+    private final TokenBucketRateLimiter burstLimiter;
+    private final LongSupplier clock;
+    private ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    /** Counters replaced at a window boundary whose last counts still need pushing. */
+    private final Queue<Map.Entry<String, Counter>> retired = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param store shared store for cluster-wide counts
+     * @param burst maximum requests per key allowed back to back on this node
+     * @param limit maximum number of requests per key and window, across all nodes
+     * @param window window length
+     * @param syncInterval how often local counts are exchanged with the store
+     */
+    public ClusterRateLimiter(RateLimitStore store, int burst, int limit, Duration window, Duration syncInterval) {
+        this(store, burst, limit, window, System::currentTimeMillis);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = syncInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::sync, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a limiter without a sync thread, reading time from the given clock.
+     * Simulations call sync() themselves and advance the clock across window
+     * boundaries. The per-node burst bucket still runs on System.nanoTime(), so
+     * simulations should pass a burst large enough not to interfere.
+     *
+     * @param clock current time in epoch milliseconds
+     */
+    ClusterRateLimiter(RateLimitStore store, int burst, int limit, Duration window, LongSupplier clock) {
+        this.store = store;
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.burstLimiter = new TokenBucketRateLimiter(burst,
+            (int) Math.max(1, limit * TimeUnit.MINUTES.toMillis(1) / windowMillis));
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long burstWaitNanos = burstLimiter.tryAcquire(key);
+        if (burstWaitNanos > 0) {
+            return burstWaitNanos;
+        }
+
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+
+        Counter counter = counters.get(key);
+        if (counter == null || counter.window != window) {
+            counter = counters.compute(key, (k, existing) -> {
+                if (existing != null && existing.window == window) {
+                    return existing;
+                }
+                if (existing != null) {
+                    retired.add(Map.entry(k, existing));
+                }
+                return new Counter(window,
+                    existing != null && existing.window == window - 1 ? existing.total() : 0);
+            });
+        }
+
+        long elapsedMillis = now - window * windowMillis;
+        double previousWeight = 1.0 - (double) elapsedMillis / windowMillis;
+        while (true) {
+            long pending = counter.pending.get();
+            long current = counter.cluster + counter.syncing.get() + pending;
+            double previous = counter.previous * previousWeight;
+            if (previous + current >= limit) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(
+                    waitMillis(counter.previous, current, elapsedMillis), 1));
+            }
+            if (counter.pending.compareAndSet(pending, pending + 1)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Estimates how long until the sliding-window estimate drops below the limit.
+     */
+    private long waitMillis(long previous, long current, long elapsedMillis) {
+        long remainingMillis = windowMillis - elapsedMillis;
+        if (current >= limit) {
+            // Full on its own: after the boundary it becomes the previous window and
+            // has to slide out far enough to leave room for one request
+            return remainingMillis + (long) Math.ceil((double) (current - limit + 1) / current * windowMillis);
+        }
+        // Wait until enough of the previous window has slid out
+        double excess = previous * (1.0 - (double) elapsedMillis / windowMillis) + current - limit + 1;
+        return Math.min(remainingMillis, (long) Math.ceil(excess / previous * windowMillis));
+    }
+
+    /**
+     * Pushes the counts collected since the last sync and pulls the cluster totals.
+     * Package-private so simulations built on the clock constructor can drive it
+     * deterministically.
+     */
+    void sync() {
+        long window = clock.getAsLong() / windowMillis;
+        counters.values().removeIf(counter -> counter.window < window - 1);
+
+        Map<Long, Map<String, Counter>> byWindow = new HashMap<>();
+        Map.Entry<String, Counter> entry;
+        while ((entry = retired.poll()) != null) {
+            if (entry.getValue().window >= window - 1) {
+                byWindow.computeIfAbsent(entry.getValue().window, w -> new HashMap<>())
+                    .put(entry.getKey(), entry.getValue());
+            }
+        }
+        counters.forEach((key, counter) ->
+            byWindow.computeIfAbsent(counter.window, w -> new HashMap<>()).put(key, counter));
+
+        // Finish the previous window first so the totals read below include this node
+        Map<String, Counter> previousBatch = byWindow.getOrDefault(window - 1, Map.of());
+        if (!exchange(window - 1, previousBatch)) {
+            previousBatch.forEach((key, counter) -> {
+                if (counters.get(key) != counter) {
+                    retired.add(Map.entry(key, counter));
+                }
+            });
+        }
+
+        Map<String, Counter> currentBatch = byWindow.getOrDefault(window, Map.of());
+        if (exchange(window, currentBatch)) {
+            refreshPrevious(window, currentBatch);
+        }
+    }
+
+    /**
+     * Pushes the pending counts of one window and stores the cluster totals.
+     *
+     * @return false if the store failed; the counts are then kept for the next sync
+     */
+    private boolean exchange(long window, Map<String, Counter> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        Map<String, Long> deltas = new HashMap<>();
+        batch.forEach((key, counter) -> {
+            // Move counts to "syncing" before clearing "pending" so concurrent
+            // decisions never see them disappear
+            long delta = counter.pending.get();
+            counter.syncing.addAndGet(delta);
+            counter.pending.addAndGet(-delta);
+            deltas.put(key, delta);
+        });
+
+        try {
+            Map<String, Long> totals = store.addAndGet(window, deltas);
+            batch.forEach((key, counter) -> {
+                counter.cluster = totals.getOrDefault(key, counter.cluster);
+                counter.syncing.addAndGet(-deltas.get(key));
+            });
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Rate limit sync failed, limiting on local counts until the next sync", e);
+            batch.forEach((key, counter) -> {
+                long delta = deltas.get(key);
+                counter.syncing.addAndGet(-delta);
+                counter.pending.addAndGet(delta);
+            });
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the previous-window estimate of current counters with the
+     * cluster-wide totals, which include requests other nodes admitted.
+     */
+    private void refreshPrevious(long window, Map<String, Counter> batch) {
+        Map<String, Long> reads = new HashMap<>();
+        batch.keySet().forEach(key -> reads.put(key, 0L));
+        try {
+            Map<String, Long> totals = store.addAndGet(window - 1, reads);
+            batch.forEach((key, counter) ->
+                counter.previous = Math.max(counter.previous, totals.getOrDefault(key, 0L)));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read previous rate limit window, keeping local estimates", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static final class Counter {
+
+        private final long window;
+        /** Cluster-wide count of the previous window, as far as this node knows. */
+        private volatile long previous;
+        /** Cluster-wide count as of the last successful sync, including this node. */
+        private volatile long cluster;
+        /** Counted locally, currently being pushed to the store. */
+        private final AtomicLong syncing = new AtomicLong();
+        /** Counted locally since the last sync started. */
+        private final AtomicLong pending = new AtomicLong();
+
+        private Counter(long window, long previous) {
+            this.window = window;
+            this.previous = previous;
+        }
+
+        private long total() {
+            return cluster + syncing.get() + pending.get();
+        }
+    }
+}
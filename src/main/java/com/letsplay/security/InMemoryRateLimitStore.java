@@ -0,0 +1,30 @@
+package com.letsplay.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimitStore kept in the local JVM.
+ *
+ * Stand-in for MongoRateLimitStore in tests and simulations: several
+ * ClusterRateLimiter instances sharing one InMemoryRateLimitStore behave like
+ * several nodes sharing one database.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Map<Long, Map<String, AtomicLong>> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, Long> addAndGet(long window, Map<String, Long> deltas) {
+        // Older windows can no longer be queried by any node
+        windows.keySet().removeIf(w -> w < window - 1);
+
+        Map<String, AtomicLong> counters = windows.computeIfAbsent(window, w -> new ConcurrentHashMap<>());
+        Map<String, Long> totals = new HashMap<>();
+        deltas.forEach((key, delta) -> totals.put(key,
+            counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta)));
+        return totals;
+    }
+}
@@ -0,0 +1,90 @@
+package com.letsplay.security;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RateLimitStore backed by a MongoDB collection, shared by all API nodes.
+ *
+ * One document per (key, window) holds the cluster-wide count. An exchange is
+ * one unordered bulk of $inc upserts for the non-zero deltas plus one query
+ * reading back the totals, regardless of how many requests were counted.
+ * Documents carry an expireAt field with a TTL index, so finished windows are
+ * removed by MongoDB itself. The TTL index is created on the first exchange
+ * rather than at startup, so an unreachable database only fails syncs.
+ */
+public class MongoRateLimitStore implements RateLimitStore {
+
+    private static final String COLLECTION = "rate_limits";
+
+    private final MongoTemplate mongoTemplate;
+    private final long retentionMillis;
+    private volatile boolean indexed;
+
+    /**
+     * @param mongoTemplate template for the application database
+     * @param window length of a rate limiting window
+     */
+    public MongoRateLimitStore(MongoTemplate mongoTemplate, Duration window) {
+        this.mongoTemplate = mongoTemplate;
+        // Keep the current and the previous window around for late exchanges
+        this.retentionMillis = window.toMillis() * 2;
+    }
+
+    @Override
+    public Map<String, Long> addAndGet(long window, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return Map.of();
+        }
+        if (!indexed) {
+            mongoTemplate.indexOps(COLLECTION)
+                .ensureIndex(new Index().on("expireAt", Sort.Direction.ASC).expire(0));
+            indexed = true;
+        }
+
+        List<String> ids = new ArrayList<>(deltas.size());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        boolean hasWrites = false;
+        Date expireAt = new Date(System.currentTimeMillis() + retentionMillis);
+
+        for (Map.Entry<String, Long> entry : deltas.entrySet()) {
+            String id = entry.getKey() + "|" + window;
+            ids.add(id);
+            if (entry.getValue() > 0) {
+                bulk.upsert(
+                    Query.query(Criteria.where("_id").is(id)),
+                    new Update().inc("count", entry.getValue()).setOnInsert("expireAt", expireAt)
+                );
+                hasWrites = true;
+            }
+        }
+        if (hasWrites) {
+            bulk.execute();
+        }
+
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("count");
+
+        String suffix = "|" + window;
+        Map<String, Long> totals = new HashMap<>();
+        for (Document document : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            String id = document.getString("_id");
+            Number count = document.get("count", Number.class);
+            totals.put(id.substring(0, id.length() - suffix.length()), count == null ? 0L : count.longValue());
+        }
+        return totals;
+    }
+}
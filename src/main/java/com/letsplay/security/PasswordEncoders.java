@@ -0,0 +1,35 @@
+package com.letsplay.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Builds the password encoders used by SecurityConfig and tuned by
+ * PasswordHashCalibrator.
+ *
+ * Only the cost parameters are exposed. Salt and hash lengths, parallelism and
+ * the PBKDF2 PRF are fixed here, so the calibrator always measures exactly the
+ * encoders the application runs.
+ */
+public final class PasswordEncoders {
+
+    private PasswordEncoders() {
+    }
+
+    public static BCryptPasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    /**
+     * Requires BouncyCastle on the classpath.
+     */
+    public static Argon2PasswordEncoder argon2(int memoryKb, int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, memoryKb, iterations);
+    }
+}
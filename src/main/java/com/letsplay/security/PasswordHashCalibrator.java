@@ -0,0 +1,113 @@
+package com.letsplay.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Picks password hashing cost parameters that hit a target hash time on the
+ * current machine.
+ *
+ * Run it on the deployment hardware and copy the printed properties into
+ * application.properties:
+ *
+ * <pre>
+ * java -cp target/classes:... com.letsplay.security.PasswordHashCalibrator 50
+ * </pre>
+ *
+ * The argument is the target time in milliseconds (default: 50). Encoders come
+ * from PasswordEncoders, the same factory SecurityConfig uses.
+ */
+public final class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibrate123!";
+    private static final int SAMPLES = 5;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * Returns the highest BCrypt strength whose hash time stays within the target.
+     * Cost is exponential, so each step doubles the time.
+     *
+     * @param targetMillis target hash time in milliseconds
+     * @return BCrypt strength between 4 and 31
+     */
+    public static int calibrateBcrypt(long targetMillis) {
+        int strength = 4;
+        while (strength < 31) {
+            double millis = medianMillis(PasswordEncoders.bcrypt(strength + 1));
+            if (millis > targetMillis) {
+                break;
+            }
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Returns the PBKDF2 iteration count giving roughly the target hash time.
+     * Cost is linear in iterations, so one measurement is scaled.
+     *
+     * @param targetMillis target hash time in milliseconds
+     * @return iteration count, rounded to the nearest thousand
+     */
+    public static int calibratePbkdf2(long targetMillis) {
+        int probe = 50_000;
+        double millis = medianMillis(PasswordEncoders.pbkdf2(probe));
+        return scale(probe, millis, targetMillis, 1_000);
+    }
+
+    /**
+     * Returns the Argon2 iteration count giving roughly the target hash time
+     * for the given memory cost. Requires BouncyCastle on the classpath.
+     *
+     * @param targetMillis target hash time in milliseconds
+     * @param memoryKb memory cost in kibibytes
+     * @return iteration count, at least 1
+     */
+    public static int calibrateArgon2(long targetMillis, int memoryKb) {
+        int probe = 2;
+        double millis = medianMillis(PasswordEncoders.argon2(memoryKb, probe));
+        return scale(probe, millis, targetMillis, 1);
+    }
+
+    private static int scale(int probe, double probeMillis, long targetMillis, int step) {
+        double scaled = probe * (targetMillis / Math.max(probeMillis, 0.001));
+        return Math.max(step, (int) (Math.round(scaled / step) * step));
+    }
+
+    private static double medianMillis(PasswordEncoder encoder) {
+        // Warm up once so JIT compilation does not skew the first sample
+        encoder.encode(SAMPLE_PASSWORD);
+
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    public static void main(String[] args) {
+        long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : 50;
+
+        System.out.println("# Calibrated for ~" + targetMillis + " ms per hash on "
+            + Runtime.getRuntime().availableProcessors() + " cores");
+        System.out.println("password.hashing.bcrypt.strength=" + calibrateBcrypt(targetMillis));
+        System.out.println("# When replacing an existing value, append the old one to"
+            + " password.hashing.pbkdf2.previous.iterations");
+        System.out.println("password.hashing.pbkdf2.iterations=" + calibratePbkdf2(targetMillis));
+
+        try {
+            int memoryKb = 19_456;
+            int iterations = calibrateArgon2(targetMillis, memoryKb);
+            System.out.println("password.hashing.argon2.memory=" + memoryKb);
+            System.out.println("password.hashing.argon2.iterations=" + iterations);
+        } catch (NoClassDefFoundError e) {
+            System.out.println("# Argon2 skipped: BouncyCastle is not on the classpath");
+        }
+    }
+}
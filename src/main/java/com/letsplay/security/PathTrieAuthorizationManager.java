@@ -0,0 +1,267 @@
+package com.letsplay.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Authorization manager that resolves URL rules through a precompiled path trie.
+ *
+ * The default authorizeHttpRequests() setup tries each requestMatchers() entry in
+ * order, pattern-matching the path every time, so the cost grows with the number
+ * of rules. Here the rules are compiled at startup into one trie per HTTP method
+ * (plus one for rules without a method). A lookup walks the request path segment
+ * by segment, so its cost follows the path depth rather than the rule count, and
+ * it compares segments in place without splitting or copying the path.
+ *
+ * First-match semantics are kept: when several rules match, the one registered
+ * first wins, exactly as with sequential requestMatchers().
+ *
+ * Supported pattern syntax per segment:
+ * - literal text, e.g. /api/users
+ * - {name} or *, matching exactly one segment
+ * - a trailing /**, matching zero or more remaining segments
+ *
+ * Anything else containing '*', '{' or '}' (e.g. *.csv, {id}.json, {id:\d+} or
+ * {*rest}) is rejected with IllegalArgumentException rather than stored as a
+ * literal that never matches, which would drop those requests to the fallback.
+ *
+ * Usage:
+ * <pre>
+ * .authorizeHttpRequests(auth -> auth.anyRequest().access(
+ *     PathTrieAuthorizationManager.builder()
+ *         .rule(HttpMethod.GET, "/api/users", AuthorityAuthorizationManager.hasRole("ADMIN"))
+ *         .fallback(AuthenticatedAuthorizationManager.authenticated())
+ *         .build()))
+ * </pre>
+ */
+public final class PathTrieAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final int NO_RULE = Integer.MAX_VALUE;
+
+    private final Map<String, Node> methodTries;
+    private final Node anyMethodTrie;
+    private final List<AuthorizationManager<HttpServletRequest>> managers;
+    private final AuthorizationManager<HttpServletRequest> fallback;
+
+    private PathTrieAuthorizationManager(Builder builder) {
+        this.methodTries = builder.methodTries;
+        this.anyMethodTrie = builder.anyMethodTrie;
+        this.managers = List.copyOf(builder.managers);
+        this.fallback = builder.fallback;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        int rule = match(request.getMethod(), requestPath(request));
+        AuthorizationManager<HttpServletRequest> manager = rule == NO_RULE ? fallback : managers.get(rule);
+        return manager.check(authentication, request);
+    }
+
+    /**
+     * Returns the index of the first registered rule matching the method and path,
+     * or NO_RULE when none does.
+     */
+    int match(String method, String path) {
+        int rule = lookup(anyMethodTrie, path);
+        Node methodTrie = methodTries.get(method);
+        if (methodTrie != null) {
+            rule = Math.min(rule, lookup(methodTrie, path));
+        }
+        return rule;
+    }
+
+    private static String requestPath(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    private static int lookup(Node root, String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return NO_RULE;
+        }
+        return lookup(root, path, 1);
+    }
+
+    /**
+     * Matches the segment starting at {@code start} against the children of
+     * {@code node}. Only exact and single-segment wildcard branches are followed,
+     * so the recursion depth is bounded by the number of segments.
+     */
+    private static int lookup(Node node, String path, int start) {
+        int best = node.restRule;
+
+        if (start > path.length()) {
+            return Math.min(best, node.terminalRule);
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+
+        for (int i = 0; i < node.literalKeys.length; i++) {
+            String key = node.literalKeys[i];
+            if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                best = Math.min(best, lookup(node.literalChildren[i], path, end + 1));
+                break;
+            }
+        }
+
+        if (node.wildcard != null && length > 0) {
+            best = Math.min(best, lookup(node.wildcard, path, end + 1));
+        }
+
+        return best;
+    }
+
+    /**
+     * Builds the tries. Rules are evaluated in registration order, like
+     * requestMatchers() entries.
+     */
+    public static final class Builder {
+
+        private final Map<String, Node> methodTries = new HashMap<>();
+        private final Node anyMethodTrie = new Node();
+        private final List<AuthorizationManager<HttpServletRequest>> managers = new ArrayList<>();
+        private AuthorizationManager<HttpServletRequest> fallback = (authentication, request) -> new AuthorizationDecision(false);
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a rule for the given method and path pattern.
+         *
+         * @param method HTTP method, or null for any method
+         * @param pattern path pattern, e.g. /api/products/**
+         * @param manager decision for requests matching this rule
+         * @return this builder
+         */
+        public Builder rule(HttpMethod method, String pattern, AuthorizationManager<HttpServletRequest> manager) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Pattern must start with '/': " + pattern);
+            }
+            String[] segments = pattern.substring(1).split("/", -1);
+            // Validate everything before touching the trie, so a rejected rule leaves no trace
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if ("**".equals(segment) && i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                }
+                if (!"**".equals(segment) && !isSingleWildcard(segment)
+                        && (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0)) {
+                    throw new IllegalArgumentException("Unsupported segment '" + segment
+                        + "', only '*', '**' and '{name}' are supported: " + pattern);
+                }
+            }
+
+            Node root = method == null
+                ? anyMethodTrie
+                : methodTries.computeIfAbsent(method.name(), m -> new Node());
+            int index = managers.size();
+            managers.add(manager);
+
+            Node node = root;
+            for (String segment : segments) {
+                if ("**".equals(segment)) {
+                    node.restRule = Math.min(node.restRule, index);
+                    return this;
+                }
+                node = isSingleWildcard(segment) ? node.wildcard() : node.literal(segment);
+            }
+            node.terminalRule = Math.min(node.terminalRule, index);
+            return this;
+        }
+
+        /**
+         * Sets the decision for requests that match no rule (anyRequest()).
+         * Defaults to deny.
+         *
+         * @param fallback decision for unmatched requests
+         * @return this builder
+         */
+        public Builder fallback(AuthorizationManager<HttpServletRequest> fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        public PathTrieAuthorizationManager build() {
+            return new PathTrieAuthorizationManager(this);
+        }
+
+        private static boolean isSingleWildcard(String segment) {
+            return "*".equals(segment) || isVariable(segment);
+        }
+
+        /**
+         * @return true for a plain {name} variable, without regex or capture-all syntax
+         */
+        private static boolean isVariable(String segment) {
+            if (segment.length() < 3 || !segment.startsWith("{") || !segment.endsWith("}")) {
+                return false;
+            }
+            for (int i = 1; i < segment.length() - 1; i++) {
+                char c = segment.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Trie node for one path segment. Literal children are kept in parallel arrays:
+     * a scan with regionMatches avoids allocating a substring key for a map lookup,
+     * and the length check rejects most siblings before comparing characters.
+     */
+    private static final class Node {
+
+        private String[] literalKeys = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private Node wildcard;
+        private int terminalRule = NO_RULE;
+        private int restRule = NO_RULE;
+
+        private Node literal(String key) {
+            for (int i = 0; i < literalKeys.length; i++) {
+                if (literalKeys[i].equals(key)) {
+                    return literalChildren[i];
+                }
+            }
+            Node child = new Node();
+            int size = literalKeys.length;
+            String[] keys = new String[size + 1];
+            Node[] children = new Node[size + 1];
+            System.arraycopy(literalKeys, 0, keys, 0, size);
+            System.arraycopy(literalChildren, 0, children, 0, size);
+            keys[size] = key;
+            children[size] = child;
+            literalKeys = keys;
+            literalChildren = children;
+            return child;
+        }
+
+        private Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+    }
+}
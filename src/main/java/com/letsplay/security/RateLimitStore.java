@@ -0,0 +1,23 @@
+package com.letsplay.security;
+
+import java.util.Map;
+
+/**
+ * Shared counter store used by ClusterRateLimiter to combine the request
+ * counts of every API node.
+ *
+ * Nodes never call the store on the request path. They accumulate counts
+ * locally and exchange them in batches at a fixed interval.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Adds this node's counts for a window and returns the cluster-wide totals.
+     *
+     * @param window window number (epoch millis divided by window length)
+     * @param deltas keys tracked by this node mapped to the requests counted
+     *               since the last exchange (may be 0 to only read the total)
+     * @return cluster-wide totals for the given keys, including these deltas
+     */
+    Map<String, Long> addAndGet(long window, Map<String, Long> deltas);
+}
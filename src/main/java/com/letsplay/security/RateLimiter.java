@@ -0,0 +1,19 @@
+package com.letsplay.security;
+
+/**
+ * Decides whether a request identified by a key may proceed.
+ *
+ * Implementations must be thread-safe and cheap enough to call on every
+ * request, before any expensive work such as password hashing.
+ */
+public interface RateLimiter {
+
+    /**
+     * Tries to take one permit for the key.
+     *
+     * @param key bucket key, e.g. client IP or account email
+     * @return 0 if the permit was granted, otherwise the nanoseconds to wait
+     *         before a permit becomes available
+     */
+    long tryAcquire(String key);
+}
@@ -0,0 +1,82 @@
+package com.letsplay.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, per-key token bucket rate limiter.
+ *
+ * Each key owns a single AtomicLong holding its "theoretical arrival time"
+ * (the GCRA formulation of a token bucket): the instant at which the bucket
+ * would be full again. Acquiring a token is one CAS that pushes this instant
+ * forward by one emission interval, so there are no locks and no separate
+ * token/timestamp fields to keep consistent. Buckets live in a
+ * ConcurrentHashMap, which stripes contention across its bins.
+ *
+ * A bucket whose arrival time is in the past is full, i.e. indistinguishable
+ * from a fresh one, so it can be dropped. Idle buckets are swept at most once
+ * per sweep interval by whichever caller notices the interval has elapsed.
+ * A request racing with the sweep may land on a discarded bucket; that costs
+ * at most one extra permit and never blocks anyone.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep;
+
+    /**
+     * @param burst maximum number of requests allowed back to back
+     * @param permitsPerMinute sustained refill rate
+     */
+    public TokenBucketRateLimiter(int burst, int permitsPerMinute) {
+        if (burst < 1 || permitsPerMinute < 1) {
+            throw new IllegalArgumentException("burst and permitsPerMinute must be positive");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.burstNanos = emissionIntervalNanos * burst;
+        // A bucket refills completely within one burst window, sweep at that pace
+        this.sweepIntervalNanos = Math.max(burstNanos, TimeUnit.SECONDS.toNanos(1));
+        this.nextSweep = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return number of buckets currently tracked
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}